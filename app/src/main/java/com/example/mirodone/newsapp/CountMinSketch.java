@@ -0,0 +1,92 @@
+package com.example.mirodone.newsapp;
+
+// Fixed-size Count-Min sketch of String keys with double counts.
+// Memory is depth * width doubles no matter how many distinct keys are added,
+// and estimates never undercount (they can only overcount on hash collisions).
+// Every row hashes the characters of the key with its own seed, instead of reusing
+// String.hashCode(), so two keys with equal hashCodes ("Aa" / "BB") don't collide in every row.
+// Not thread safe, callers synchronize.
+
+public class CountMinSketch {
+
+    // One seed per row, so every row hashes the same key to an unrelated column.
+    private static final int[] ROW_SEEDS = {
+            0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F,
+            0x165667B1, 0xD3A2646C, 0xFD7046C5, 0xB55A4F09
+    };
+
+    private final double[][] mCounts;
+    private final int mDepth;
+    private final int mMask;
+
+    // Scratch space for add(), so no array is allocated per update.
+    private final int[] mColumns;
+
+    // width is rounded up to a power of two so a column is a single mask instead of a modulo.
+    public CountMinSketch(int depth, int width) {
+        if (depth <= 0 || depth > ROW_SEEDS.length) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + ROW_SEEDS.length + ": " + depth);
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive: " + width);
+        }
+        int roundedWidth = Integer.highestOneBit(width);
+        if (roundedWidth < width) {
+            roundedWidth <<= 1;
+        }
+        mDepth = depth;
+        mMask = roundedWidth - 1;
+        mCounts = new double[depth][roundedWidth];
+        mColumns = new int[depth];
+    }
+
+    // Add weight to key using conservative update (only raise the counters that are below the
+    // new minimum), which keeps the overcount much lower than a plain update. Returns the new estimate.
+    public double add(String key, double weight) {
+        int[] columns = mColumns;
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < mDepth; row++) {
+            columns[row] = column(key, row);
+            estimate = Math.min(estimate, mCounts[row][columns[row]]);
+        }
+        double updated = estimate + weight;
+        for (int row = 0; row < mDepth; row++) {
+            if (mCounts[row][columns[row]] < updated) {
+                mCounts[row][columns[row]] = updated;
+            }
+        }
+        return updated;
+    }
+
+    public double estimate(String key) {
+        double estimate = Double.MAX_VALUE;
+        for (int row = 0; row < mDepth; row++) {
+            estimate = Math.min(estimate, mCounts[row][column(key, row)]);
+        }
+        return estimate;
+    }
+
+    // Multiply every counter by factor, used to apply time decay to the whole sketch at once.
+    public void scale(double factor) {
+        for (double[] row : mCounts) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+    }
+
+    private int column(String key, int row) {
+        // FNV-1a over the characters, starting from the row's seed
+        int h = ROW_SEEDS[row];
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x01000193;
+        }
+        // murmur3 finalizer, so the low bits used for the column depend on every character
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & mMask;
+    }
+}
@@ -44,6 +44,9 @@ public class MainActivity extends AppCompatActivity implements LoaderManager.Loa
 
     private static final int EARTHQUAKE_LOADER_ID = 1;
 
+    // Share of the memory budget for the list of news; it is the only cache so far.
+    private static final int NEWS_LIST_CACHE_WEIGHT = 1;
+
     //When we get to the onPostExecute() method, we need to update the ListView.
     // The only way to update the contents of the list is to update the data set within the NewsAdapter.
     // To access and modify the instance of the NewsAdapter, we need to make it
@@ -126,15 +129,8 @@ public class MainActivity extends AppCompatActivity implements LoaderManager.Loa
         super.onCreate(savedInstanceState);
         setContentView(R.layout.list_item);
 
-        // Get a reference to the ConnectivityManager to check state of network connectivity
-        ConnectivityManager connMgr = (ConnectivityManager)
-                getSystemService(Context.CONNECTIVITY_SERVICE);
-
-        // Get details on the currently active default data network
-        NetworkInfo networkInfo = connMgr.getActiveNetworkInfo();
-
         // If there is a network connection, fetch data
-        if (networkInfo != null && networkInfo.isConnected()) {
+        if (isConnected()) {
             // Get a reference to the LoaderManager, in order to interact with loaders.
             LoaderManager loaderManager = getLoaderManager();
 
@@ -162,14 +158,22 @@ public class MainActivity extends AppCompatActivity implements LoaderManager.Loa
         //set the adapter on ListView so the list can be populated in the UI
         newsListView.setAdapter(newsAdapter);
 
+        // Let the memory budget manager drop the list under memory pressure
+        NewsApplication.getMemoryBudgetManager(this).register(newsAdapter, NEWS_LIST_CACHE_WEIGHT);
+
         // Set an item click listener on the ListView, which sends an intent to a web browser
         // to open a website with more information about the selected News.
         newsListView.setOnItemClickListener(new AdapterView.OnItemClickListener() {
             @Override
             public void onItemClick(AdapterView<?> adapterView, View view, int position, long l) {
 
+                News clickedNews = newsAdapter.getItem(position);
+
+                // A click is a much stronger signal of interest than just being in the feed
+                TrendingAnalytics.getInstance().recordClick(clickedNews);
+
                 // Get the url at the given position the user clicked on
-                String currentUrl = newsAdapter.getItem(position).getNewsUrl();
+                String currentUrl = clickedNews.getNewsUrl();
 
                 Intent clickUrl = new Intent(Intent.ACTION_VIEW);
                 clickUrl.setData(Uri.parse(currentUrl));
@@ -182,6 +186,37 @@ public class MainActivity extends AppCompatActivity implements LoaderManager.Loa
 
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+
+        // Back in the foreground: let the caches grow again after a trim while we were in the background
+        NewsApplication.getMemoryBudgetManager(this).onAppForegrounded();
+
+        // The list was dropped under memory pressure: load it again instead of showing it blank
+        if (isConnected() && newsAdapter.consumeTrimmed()) {
+            findViewById(R.id.progressBar).setVisibility(View.VISIBLE);
+            getLoaderManager().restartLoader(EARTHQUAKE_LOADER_ID, null, this);
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        NewsApplication.getMemoryBudgetManager(this).unregister(newsAdapter);
+        super.onDestroy();
+    }
+
+    // Return true if there is an active network connection
+    private boolean isConnected() {
+        // Get a reference to the ConnectivityManager to check state of network connectivity
+        ConnectivityManager connMgr = (ConnectivityManager)
+                getSystemService(Context.CONNECTIVITY_SERVICE);
+
+        // Get details on the currently active default data network
+        NetworkInfo networkInfo = connMgr.getActiveNetworkInfo();
+        return networkInfo != null && networkInfo.isConnected();
+    }
+
     @Override
     // This method initialize the contents of the Activity's options menu.
     public boolean onCreateOptionsMenu(Menu menu) {
@@ -0,0 +1,235 @@
+package com.example.mirodone.newsapp;
+
+// Central memory budget for every in-memory cache of the app.
+// Caches register with a weight, the heap budget is split between them by weight,
+// and onTrimMemory / onLowMemory evict from all of them in tiers so the app
+// shrinks smoothly instead of being killed in the background.
+
+import android.app.ActivityManager;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MemoryBudgetManager implements ComponentCallbacks2 {
+
+    private static final String LOG_TAG = MemoryBudgetManager.class.getSimpleName();
+
+    // Share of the per-app heap (ActivityManager.getMemoryClass()) that all caches may use together.
+    private static final int HEAP_BUDGET_DIVISOR = 8;
+
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    // Registered caches and their weights, kept in registration order for stable reports.
+    private final Map<TrimmableCache, Integer> mCaches = new LinkedHashMap<>();
+
+    private final long mTotalBudgetBytes;
+
+    private int mTotalWeight;
+
+    // Fraction of every budget that may be used under the current memory pressure, 1 when there is none.
+    private float mPressureFraction = 1f;
+
+    // Level of the last trim callback (onLowMemory counts as TRIM_MEMORY_COMPLETE), 0 when there was none.
+    private int mLastTrimLevel;
+
+    public MemoryBudgetManager(long totalBudgetBytes) {
+        if (totalBudgetBytes < 0) {
+            throw new IllegalArgumentException("Budget must not be negative: " + totalBudgetBytes);
+        }
+        mTotalBudgetBytes = totalBudgetBytes;
+    }
+
+    // Default budget for all caches together: a fixed share of the per-app heap of this device.
+    public static long heapBudgetBytes(Context context) {
+        ActivityManager activityManager = (ActivityManager)
+                context.getSystemService(Context.ACTIVITY_SERVICE);
+        int memoryClass = activityManager.getMemoryClass();
+        return memoryClass * BYTES_PER_MEGABYTE / HEAP_BUDGET_DIVISOR;
+    }
+
+    public long getTotalBudgetBytes() {
+        return mTotalBudgetBytes;
+    }
+
+    // Register a cache with the given weight. Re-registering an existing cache updates its weight.
+    // Every cache is trimmed to its new share, since adding a cache shrinks everyone else's.
+    public void register(TrimmableCache cache, int weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Cache weight must be positive: " + weight);
+        }
+        synchronized (this) {
+            Integer previous = mCaches.put(cache, weight);
+            if (previous != null) {
+                mTotalWeight -= previous;
+            }
+            mTotalWeight += weight;
+        }
+        trimAll();
+    }
+
+    public synchronized void unregister(TrimmableCache cache) {
+        Integer previous = mCaches.remove(cache);
+        if (previous != null) {
+            mTotalWeight -= previous;
+        }
+    }
+
+    // Number of bytes the given cache may hold right now, already reduced by the current memory pressure.
+    // Caches should check this before adding new entries.
+    public synchronized long getBudgetFor(TrimmableCache cache) {
+        Integer weight = mCaches.get(cache);
+        if (weight == null || mTotalWeight == 0) {
+            return 0;
+        }
+        long share = mTotalBudgetBytes * weight / mTotalWeight;
+        return (long) (share * (double) mPressureFraction);
+    }
+
+    // Sum of the current sizes of all registered caches.
+    public long getUsedBytes() {
+        long used = 0;
+        for (TrimmableCache cache : snapshotBudgets().keySet()) {
+            used += cache.getSizeInBytes();
+        }
+        return used;
+    }
+
+    // Snapshot of the current size and budget of every registered cache.
+    public List<CacheUsage> getUsageReport() {
+        Map<TrimmableCache, Long> budgets = snapshotBudgets();
+        List<CacheUsage> report = new ArrayList<>(budgets.size());
+        for (Map.Entry<TrimmableCache, Long> entry : budgets.entrySet()) {
+            TrimmableCache cache = entry.getKey();
+            report.add(new CacheUsage(cache.getCacheName(), cache.getSizeInBytes(), entry.getValue()));
+        }
+        return report;
+    }
+
+    // Debug helper, logs nothing in release builds.
+    public void logUsage() {
+        if (!BuildConfig.DEBUG) {
+            return;
+        }
+        for (CacheUsage usage : getUsageReport()) {
+            Log.d(LOG_TAG, usage.toString());
+        }
+        Log.d(LOG_TAG, "Total: " + getUsedBytes() + " / " + mTotalBudgetBytes + " bytes");
+    }
+
+    // Called when an activity starts. If the last trim came from a trip to the background
+    // (UI_HIDDEN or above), that pressure is over and budgets go back to their full size.
+    // A RUNNING_* level was received while we were still in the foreground (onStart also runs
+    // after a rotation or coming back from SettingsActivity), so it is kept.
+    public synchronized void onAppForegrounded() {
+        if (mLastTrimLevel >= TRIM_MEMORY_UI_HIDDEN) {
+            mPressureFraction = 1f;
+            mLastTrimLevel = 0;
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        // The latest level always wins, so a milder level after a severe one relaxes the budgets.
+        synchronized (this) {
+            mPressureFraction = budgetFractionForLevel(level);
+            mLastTrimLevel = level;
+        }
+        trimAll();
+    }
+
+    @Override
+    public void onLowMemory() {
+        synchronized (this) {
+            mPressureFraction = 0f;
+            mLastTrimLevel = TRIM_MEMORY_COMPLETE;
+        }
+        trimAll();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+        // Nothing to do, the budget does not depend on the configuration.
+    }
+
+    // Map a trim level to the fraction of each cache's budget that may be kept.
+    // There are two separate ladders, so the result is not monotonic in level:
+    // the RUNNING_* levels arrive while we are in the foreground and tighten as the system runs
+    // out of memory, the levels from UI_HIDDEN up arrive once we are in the background and
+    // tighten the further the process is down the LRU list.
+    static float budgetFractionForLevel(int level) {
+        if (level >= TRIM_MEMORY_COMPLETE) {
+            return 0f;
+        } else if (level >= TRIM_MEMORY_MODERATE) {
+            return 0.25f;
+        } else if (level >= TRIM_MEMORY_BACKGROUND) {
+            return 0.5f;
+        } else if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            return 0.75f;
+        } else if (level >= TRIM_MEMORY_RUNNING_CRITICAL) {
+            return 0.25f;
+        } else if (level >= TRIM_MEMORY_RUNNING_LOW) {
+            return 0.5f;
+        } else if (level >= TRIM_MEMORY_RUNNING_MODERATE) {
+            return 0.75f;
+        }
+        return 1f;
+    }
+
+    // Trim every cache to its current budget.
+    // Must be called without holding the lock: caches call getBudgetFor() from inside their own
+    // lock, so calling into a cache while holding ours could deadlock.
+    void trimAll() {
+        for (Map.Entry<TrimmableCache, Long> entry : snapshotBudgets().entrySet()) {
+            TrimmableCache cache = entry.getKey();
+            long maxBytes = entry.getValue();
+            if (cache.getSizeInBytes() > maxBytes) {
+                cache.trimToSize(maxBytes);
+            }
+        }
+    }
+
+    // Copy of the registered caches and their current budgets, taken under the lock.
+    private synchronized Map<TrimmableCache, Long> snapshotBudgets() {
+        Map<TrimmableCache, Long> budgets = new LinkedHashMap<>();
+        for (TrimmableCache cache : mCaches.keySet()) {
+            budgets.put(cache, getBudgetFor(cache));
+        }
+        return budgets;
+    }
+
+    public static class CacheUsage {
+
+        private final String mName;
+        private final long mSizeBytes;
+        private final long mBudgetBytes;
+
+        CacheUsage(String name, long sizeBytes, long budgetBytes) {
+            mName = name;
+            mSizeBytes = sizeBytes;
+            mBudgetBytes = budgetBytes;
+        }
+
+        public String getName() {
+            return mName;
+        }
+
+        public long getSizeBytes() {
+            return mSizeBytes;
+        }
+
+        public long getBudgetBytes() {
+            return mBudgetBytes;
+        }
+
+        @Override
+        public String toString() {
+            return mName + ": " + mSizeBytes + " / " + mBudgetBytes + " bytes";
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.mirodone.newsapp;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 public class News {
 
@@ -9,13 +11,20 @@ public class News {
     private String newsAuthor;
     private Date newsDate;
     private String newsUrl;
+    private List<String> newsContributors;
 
     public News(String newsTitle, String newsSection, String newsAuthor, Date newsDate, String newsUrl) {
+        this(newsTitle, newsSection, newsAuthor, newsDate, newsUrl, Collections.<String>emptyList());
+    }
+
+    public News(String newsTitle, String newsSection, String newsAuthor, Date newsDate, String newsUrl,
+                List<String> newsContributors) {
         this.newsTitle = newsTitle;
         this.newsSection = newsSection;
         this.newsAuthor = newsAuthor;
         this.newsDate = newsDate;
         this.newsUrl = newsUrl;
+        this.newsContributors = newsContributors;
     }
 
     public String getNewsTitle() {
@@ -37,4 +46,9 @@ public class News {
     public String getNewsUrl() {
         return newsUrl;
     }
+
+    // Names of all contributor tags of the news, empty if the response had none.
+    public List<String> getNewsContributors() {
+        return newsContributors;
+    }
 }
@@ -11,12 +11,51 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 
-public class NewsAdapter extends ArrayAdapter<News> {
+// The adapter's list is also the app's biggest in-memory cache, so it registers with the
+// MemoryBudgetManager. It only holds one page of results, so it is trimmed all-or-nothing:
+// the list is cleared and MainActivity reloads it the next time it starts.
+// Trim and size callbacks come from the main thread, like every other adapter call.
+public class NewsAdapter extends ArrayAdapter<News> implements TrimmableCache {
+
+    // Rough fixed cost of a News object, its Date and the headers of its Strings and contributor list.
+    private static final long NEWS_OVERHEAD_BYTES = 200L;
+
+    // Set when the list was dropped under memory pressure and has to be loaded again.
+    private boolean mTrimmed;
 
     public NewsAdapter(Activity context, ArrayList<News> news) {
         super(context, 0, news);
     }
 
+    @Override
+    public String getCacheName() {
+        return "NewsAdapter";
+    }
+
+    @Override
+    public long getSizeInBytes() {
+        long size = 0;
+        for (int i = 0; i < getCount(); i++) {
+            size += estimateSize(getItem(i));
+        }
+        return size;
+    }
+
+    @Override
+    public void trimToSize(long maxBytes) {
+        if (getCount() > 0 && getSizeInBytes() > maxBytes) {
+            clear();
+            mTrimmed = true;
+        }
+    }
+
+    // Returns true once after the list was trimmed, so the caller can reload it.
+    public boolean consumeTrimmed() {
+        boolean trimmed = mTrimmed;
+        mTrimmed = false;
+        return trimmed;
+    }
+
     @Override
     public View getView(int position, View convertView, ViewGroup parent) {
         // Check if there is an existing list item view (called convertView) that we can reuse,
@@ -58,6 +97,19 @@ public class NewsAdapter extends ArrayAdapter<News> {
         return listItemView;
     }
 
+    private static long estimateSize(News news) {
+        long chars = length(news.getNewsTitle()) + length(news.getNewsSection())
+                + length(news.getNewsAuthor()) + length(news.getNewsUrl());
+        for (String contributor : news.getNewsContributors()) {
+            chars += length(contributor);
+        }
+        return NEWS_OVERHEAD_BYTES + chars * 2;
+    }
+
+    private static int length(String text) {
+        return text == null ? 0 : text.length();
+    }
+
     /**
      * Return the formatted date string (i.e. "Mar 3, 1984") from a Date object.
      */
@@ -0,0 +1,36 @@
+package com.example.mirodone.newsapp;
+
+import android.app.Application;
+import android.content.Context;
+
+public class NewsApplication extends Application {
+
+    // One budget manager for the whole process, so every cache shares the same heap budget.
+    private MemoryBudgetManager mMemoryBudgetManager;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+
+        mMemoryBudgetManager = new MemoryBudgetManager(MemoryBudgetManager.heapBudgetBytes(this));
+
+        // Receive onTrimMemory / onLowMemory for the whole app, not just a single activity.
+        registerComponentCallbacks(mMemoryBudgetManager);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        // Dispatches to the registered callbacks, so the manager has already trimmed here
+        super.onTrimMemory(level);
+        mMemoryBudgetManager.logUsage();
+    }
+
+    public MemoryBudgetManager getMemoryBudgetManager() {
+        return mMemoryBudgetManager;
+    }
+
+    // Convenience accessor for caches that only have a Context at hand.
+    public static MemoryBudgetManager getMemoryBudgetManager(Context context) {
+        return ((NewsApplication) context.getApplicationContext()).getMemoryBudgetManager();
+    }
+}
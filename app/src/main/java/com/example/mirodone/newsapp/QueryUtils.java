@@ -145,20 +145,23 @@ public class QueryUtils {
 
                 JSONArray tagsArray = currentNews.getJSONArray("tags");
 
-                String authorFullName = "";
-                if (tagsArray.length() > 0) {
-                    JSONObject currentTag = tagsArray.optJSONObject(0);
-
-                    // Extract the value for the key called "webTitle" from array tags, that is actually the author name
-                    authorFullName = currentTag.getString("webTitle");
-
-                    if (authorFullName.equals("")) {
-                        authorFullName = "";
-                    } else {
-                        authorFullName = ("Author: ").concat(authorFullName);
+                // every tag is a contributor, because the request only asks for show-tags=contributor.
+                // Tags that are not objects or have no name are skipped.
+                List<String> contributors = new ArrayList<>();
+                for (int j = 0; j < tagsArray.length(); j++) {
+                    JSONObject tag = tagsArray.optJSONObject(j);
+                    if (tag == null) {
+                        continue;
+                    }
+                    String contributor = tag.optString("webTitle");
+                    if (!TextUtils.isEmpty(contributor)) {
+                        contributors.add(contributor);
                     }
                 }
 
+                // the first named contributor is shown as the author
+                String authorFullName = contributors.isEmpty() ? "" : "Author: " + contributors.get(0);
+
 
                 // Extract the value for the key called "webPublicationDate"
                 String originalPublicationDate = currentNews.getString("webPublicationDate");
@@ -177,7 +180,7 @@ public class QueryUtils {
 
                 // Create a new  NEWS object with the title, sectionName, authorFullName,
                 // date and url from the JSON response.
-                News news = new News(title, sectionName, authorFullName, publicationDate, url);
+                News news = new News(title, sectionName, authorFullName, publicationDate, url, contributors);
                 // add the new EQ to the list of eqs
                 newsList.add(news);
             }
@@ -212,6 +215,11 @@ public class QueryUtils {
         // Extract relevant fields from the JSON response and create a list of Earthquakes
         List<News> news = extractFeatureFromJson(jsonResponse);
 
+        // Feed every parsed News into the local trending analytics
+        if (news != null) {
+            TrendingAnalytics.getInstance().recordParsed(news);
+        }
+
         // Return the list of Earthquakes
         return news;
     }
@@ -0,0 +1,172 @@
+package com.example.mirodone.newsapp;
+
+// Local "trending" analytics over the reading history, without any backend.
+// Every News parsed by QueryUtils and every click in MainActivity is streamed in,
+// and the top sections, contributors and title terms can be queried at any time.
+// Each dimension is a TrendingCounter and the set of already counted URLs is a bounded LRU,
+// so memory stays constant however long the history is.
+// It is deliberately not registered with the MemoryBudgetManager: the decayed counts are
+// history that can't be rebuilt, not a cache, and dropping them would free only ~100 KB.
+// The public methods use the wall clock; the package-private overloads take the time
+// explicitly so tests can drive the decay.
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class TrendingAnalytics {
+
+    // Weight of a News that simply appeared in a feed vs. one the user actually opened.
+    static final double PARSED_WEIGHT = 1d;
+    static final double CLICK_WEIGHT = 5d;
+
+    // Scores halve every day, so what is trending follows the recent reading history.
+    static final long HALF_LIFE_MILLIS = 24L * 60L * 60L * 1000L;
+
+    // 4 x 1024 sketch: ~32 KB per dimension. If the seeded row hashes behave like independent
+    // ones, the overcount stays below ~0.3% of the total weight with probability > 98%.
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+
+    // Heavy hitters tracked per dimension, the upper bound for k in the top-k queries.
+    private static final int TOP_CAPACITY = 32;
+
+    // Number of recently seen article URLs remembered, so re-fetching the same feed
+    // (the loader reloads on every restart of MainActivity) does not count an article twice.
+    static final int SEEN_URL_CAPACITY = 512;
+
+    // Title terms shorter than this are skipped, together with the stop words below.
+    private static final int MIN_TERM_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = new HashSet<>();
+
+    static {
+        String[] words = {"the", "and", "for", "with", "from", "that", "this", "are", "was", "were",
+                "has", "have", "had", "not", "but", "its", "his", "her", "their", "they", "you",
+                "our", "who", "what", "when", "where", "why", "how", "will", "would", "can", "could",
+                "after", "over", "into", "about", "than", "more", "out", "new", "says", "say"};
+        for (String word : words) {
+            STOP_WORDS.add(word);
+        }
+    }
+
+    private static TrendingAnalytics sInstance;
+
+    private final TrendingCounter mSections;
+    private final TrendingCounter mContributors;
+    private final TrendingCounter mTerms;
+
+    // LRU set of the URLs already recorded as parsed; a URL that keeps showing up stays in it.
+    private final Map<String, Boolean> mSeenUrls =
+            new LinkedHashMap<String, Boolean>(SEEN_URL_CAPACITY, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                    return size() > SEEN_URL_CAPACITY;
+                }
+            };
+
+    // Use getInstance() in the app; tests create their own instances.
+    TrendingAnalytics() {
+        mSections = newCounter();
+        mContributors = newCounter();
+        mTerms = newCounter();
+    }
+
+    public static synchronized TrendingAnalytics getInstance() {
+        if (sInstance == null) {
+            sInstance = new TrendingAnalytics();
+        }
+        return sInstance;
+    }
+
+    // Called from the loader thread for every News in a parsed response.
+    // Each article is counted once, however many times the feed containing it is fetched.
+    public void recordParsed(List<News> newsList) {
+        recordParsed(newsList, System.currentTimeMillis());
+    }
+
+    // Called from the UI thread when the user opens a News.
+    public void recordClick(News news) {
+        recordClick(news, System.currentTimeMillis());
+    }
+
+    public List<TrendingCounter.Item> getTopSections(int k) {
+        return getTopSections(k, System.currentTimeMillis());
+    }
+
+    // Also the source for "more from this contributor" suggestions.
+    public List<TrendingCounter.Item> getTopContributors(int k) {
+        return getTopContributors(k, System.currentTimeMillis());
+    }
+
+    public List<TrendingCounter.Item> getTopTerms(int k) {
+        return getTopTerms(k, System.currentTimeMillis());
+    }
+
+    public double getContributorScore(String contributor) {
+        return getContributorScore(contributor, System.currentTimeMillis());
+    }
+
+    synchronized void recordParsed(List<News> newsList, long now) {
+        for (News news : newsList) {
+            if (markSeen(news.getNewsUrl())) {
+                record(news, PARSED_WEIGHT, now);
+            }
+        }
+    }
+
+    synchronized void recordClick(News news, long now) {
+        record(news, CLICK_WEIGHT, now);
+    }
+
+    synchronized List<TrendingCounter.Item> getTopSections(int k, long now) {
+        return mSections.top(k, now);
+    }
+
+    synchronized List<TrendingCounter.Item> getTopContributors(int k, long now) {
+        return mContributors.top(k, now);
+    }
+
+    synchronized List<TrendingCounter.Item> getTopTerms(int k, long now) {
+        return mTerms.top(k, now);
+    }
+
+    synchronized double getContributorScore(String contributor, long now) {
+        return mContributors.estimate(contributor, now);
+    }
+
+    // Returns true the first time a url is seen (or once it fell out of the LRU set).
+    private boolean markSeen(String url) {
+        if (url == null) {
+            return true;
+        }
+        return mSeenUrls.put(url, Boolean.TRUE) == null;
+    }
+
+    private void record(News news, double weight, long now) {
+        String section = news.getNewsSection();
+        if (section != null && !section.isEmpty()) {
+            mSections.add(section, weight, now);
+        }
+
+        for (String contributor : news.getNewsContributors()) {
+            mContributors.add(contributor, weight, now);
+        }
+
+        String title = news.getNewsTitle();
+        if (title != null) {
+            for (String term : title.toLowerCase(Locale.ENGLISH).split("[^\\p{L}\\p{Nd}]+")) {
+                if (term.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(term)) {
+                    mTerms.add(term, weight, now);
+                }
+            }
+        }
+    }
+
+    private static TrendingCounter newCounter() {
+        return new TrendingCounter(SKETCH_DEPTH, SKETCH_WIDTH, TOP_CAPACITY, HALF_LIFE_MILLIS);
+    }
+}
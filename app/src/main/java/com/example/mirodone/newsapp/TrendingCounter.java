@@ -0,0 +1,148 @@
+package com.example.mirodone.newsapp;
+
+// Time-decayed frequency counter with a fixed-size set of heavy hitters.
+// Counts live in a CountMinSketch; the sketch estimate of every key decides whether it
+// enters the top-k set, so both memory and top-k query time are constant.
+//
+// Decay is exponential with the given half-life. Instead of touching every counter on every
+// update, new weights are scaled up by exp(lambda * (now - landmark)) ("forward decay"),
+// and scores are scaled back down at query time. When the scale factor grows too large the
+// whole sketch is renormalised once and the landmark moves to now.
+// Not thread safe, callers synchronize.
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TrendingCounter {
+
+    // Renormalise once the forward decay factor reaches e^30, well before doubles lose precision.
+    private static final double MAX_DECAY_EXPONENT = 30d;
+
+    private static final Comparator<Item> BY_SCORE_DESCENDING = new Comparator<Item>() {
+        @Override
+        public int compare(Item first, Item second) {
+            return Double.compare(second.getScore(), first.getScore());
+        }
+    };
+
+    private final CountMinSketch mSketch;
+    private final int mCapacity;
+    private final double mLambda;
+
+    // Up to mCapacity keys with the highest (forward decayed) estimates.
+    private final Map<String, Double> mHeavyHitters = new HashMap<>();
+
+    // Decay is measured from here; set by the first add() and moved by renormalise().
+    private long mLandmarkMillis;
+    private boolean mHasLandmark;
+
+    public TrendingCounter(int sketchDepth, int sketchWidth, int capacity, long halfLifeMillis) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        if (halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive: " + halfLifeMillis);
+        }
+        mSketch = new CountMinSketch(sketchDepth, sketchWidth);
+        mCapacity = capacity;
+        mLambda = Math.log(2) / halfLifeMillis;
+    }
+
+    public void add(String key, double weight, long nowMillis) {
+        if (!mHasLandmark) {
+            mLandmarkMillis = nowMillis;
+            mHasLandmark = true;
+        }
+
+        double exponent = mLambda * (nowMillis - mLandmarkMillis);
+        if (exponent > MAX_DECAY_EXPONENT) {
+            renormalise(nowMillis);
+            exponent = 0d;
+        }
+
+        double estimate = mSketch.add(key, weight * Math.exp(exponent));
+
+        if (mHeavyHitters.containsKey(key) || mHeavyHitters.size() < mCapacity) {
+            mHeavyHitters.put(key, estimate);
+            return;
+        }
+
+        // Set is full: the new key replaces the weakest heavy hitter if it is now stronger.
+        String weakestKey = null;
+        double weakestEstimate = Double.MAX_VALUE;
+        for (Map.Entry<String, Double> entry : mHeavyHitters.entrySet()) {
+            if (entry.getValue() < weakestEstimate) {
+                weakestEstimate = entry.getValue();
+                weakestKey = entry.getKey();
+            }
+        }
+        if (estimate > weakestEstimate) {
+            mHeavyHitters.remove(weakestKey);
+            mHeavyHitters.put(key, estimate);
+        }
+    }
+
+    // Decayed score of any key, heavy hitter or not.
+    public double estimate(String key, long nowMillis) {
+        return mSketch.estimate(key) * decayFactor(nowMillis);
+    }
+
+    // The k keys with the highest decayed scores, best first. k is capped at the capacity.
+    public List<Item> top(int k, long nowMillis) {
+        Item[] items = new Item[mHeavyHitters.size()];
+        double decay = decayFactor(nowMillis);
+        int i = 0;
+        for (Map.Entry<String, Double> entry : mHeavyHitters.entrySet()) {
+            items[i++] = new Item(entry.getKey(), entry.getValue() * decay);
+        }
+        Arrays.sort(items, BY_SCORE_DESCENDING);
+
+        int count = Math.min(Math.max(k, 0), items.length);
+        List<Item> top = new ArrayList<>(count);
+        for (i = 0; i < count; i++) {
+            top.add(items[i]);
+        }
+        return top;
+    }
+
+    private double decayFactor(long nowMillis) {
+        return Math.exp(-mLambda * (nowMillis - mLandmarkMillis));
+    }
+
+    private void renormalise(long nowMillis) {
+        double factor = decayFactor(nowMillis);
+        mSketch.scale(factor);
+        for (Map.Entry<String, Double> entry : mHeavyHitters.entrySet()) {
+            entry.setValue(entry.getValue() * factor);
+        }
+        mLandmarkMillis = nowMillis;
+    }
+
+    public static class Item {
+
+        private final String mKey;
+        private final double mScore;
+
+        Item(String key, double score) {
+            mKey = key;
+            mScore = score;
+        }
+
+        public String getKey() {
+            return mKey;
+        }
+
+        public double getScore() {
+            return mScore;
+        }
+
+        @Override
+        public String toString() {
+            return mKey + "=" + mScore;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.mirodone.newsapp;
+
+// Contract for any in-memory cache that wants to be coordinated by the MemoryBudgetManager.
+
+public interface TrimmableCache {
+
+    // Short name used when reporting per-cache usage.
+    String getCacheName();
+
+    // Approximate number of bytes the cache currently holds.
+    long getSizeInBytes();
+
+    // Evict entries until the cache holds at most maxBytes. A value of 0 means drop everything.
+    void trimToSize(long maxBytes);
+}
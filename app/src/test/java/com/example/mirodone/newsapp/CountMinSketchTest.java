@@ -0,0 +1,78 @@
+package com.example.mirodone.newsapp;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link CountMinSketch}.
+ */
+public class CountMinSketchTest {
+
+    @Test
+    public void add_returnsRunningTotalForSingleKey() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+
+        assertEquals(2d, sketch.add("politics", 2d), 0d);
+        assertEquals(5d, sketch.add("politics", 3d), 0d);
+        assertEquals(5d, sketch.estimate("politics"), 0d);
+        assertEquals(0d, sketch.estimate("sport"), 0d);
+    }
+
+    @Test
+    public void conservativeUpdate_neverUndercounts() {
+        // Far more keys than columns, so there are plenty of collisions.
+        CountMinSketch sketch = new CountMinSketch(2, 16);
+        Map<String, Double> exact = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            String key = "key" + random.nextInt(500);
+            double weight = 1 + random.nextInt(5);
+            sketch.add(key, weight);
+            Double previous = exact.get(key);
+            exact.put(key, previous == null ? weight : previous + weight);
+        }
+
+        for (Map.Entry<String, Double> entry : exact.entrySet()) {
+            assertTrue(entry.getKey(), sketch.estimate(entry.getKey()) >= entry.getValue());
+        }
+    }
+
+    @Test
+    public void keysWithEqualHashCodes_doNotShareAllCounters() {
+        String[][] pairs = {{"Aa", "BB"}, {"AaAa", "BBBB"}, {"AaBB", "BBAa"}};
+        for (String[] pair : pairs) {
+            assertEquals(pair[0].hashCode(), pair[1].hashCode());
+            CountMinSketch sketch = new CountMinSketch(4, 1024);
+
+            sketch.add(pair[0], 5d);
+
+            assertEquals(pair[1], 0d, sketch.estimate(pair[1]), 0d);
+        }
+    }
+
+    @Test
+    public void scale_multipliesEstimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 64);
+        sketch.add("culture", 8d);
+
+        sketch.scale(0.5d);
+
+        assertEquals(4d, sketch.estimate("culture"), 0d);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsTooDeepSketch() {
+        new CountMinSketch(9, 64);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsNonPositiveWidth() {
+        new CountMinSketch(4, 0);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.mirodone.newsapp;
+
+import android.content.ComponentCallbacks2;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link MemoryBudgetManager}.
+ */
+public class MemoryBudgetManagerTest {
+
+    private static final long BUDGET = 1000L;
+
+    @Test
+    public void budgetFractionForLevel_runningLevels() {
+        assertEquals(1f, MemoryBudgetManager.budgetFractionForLevel(0), 0f);
+        assertEquals(0.75f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE), 0f);
+        assertEquals(0.5f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW), 0f);
+        assertEquals(0.25f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL), 0f);
+    }
+
+    @Test
+    public void budgetFractionForLevel_backgroundLevels() {
+        assertEquals(0.75f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN), 0f);
+        assertEquals(0.5f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND), 0f);
+        assertEquals(0.25f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_MODERATE), 0f);
+        assertEquals(0f, MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_COMPLETE), 0f);
+    }
+
+    @Test
+    public void budgetFractionForLevel_ladderRestartsWhenUiIsHidden() {
+        // Backgrounding starts a new, milder ladder than the critical foreground level.
+        assertTrue(MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN)
+                > MemoryBudgetManager.budgetFractionForLevel(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL));
+    }
+
+    @Test
+    public void register_splitsBudgetByWeight() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache small = new FakeCache("small", 0);
+        FakeCache large = new FakeCache("large", 0);
+
+        manager.register(small, 1);
+        assertEquals(BUDGET, manager.getBudgetFor(small));
+
+        manager.register(large, 3);
+        assertEquals(250L, manager.getBudgetFor(small));
+        assertEquals(750L, manager.getBudgetFor(large));
+    }
+
+    @Test
+    public void register_again_updatesWeight() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache first = new FakeCache("first", 0);
+        FakeCache second = new FakeCache("second", 0);
+        manager.register(first, 1);
+        manager.register(second, 1);
+
+        manager.register(first, 3);
+
+        assertEquals(750L, manager.getBudgetFor(first));
+        assertEquals(250L, manager.getBudgetFor(second));
+        assertEquals(2, manager.getUsageReport().size());
+    }
+
+    @Test
+    public void register_trimsExistingCachesToTheirNewShare() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache first = new FakeCache("first", 900);
+        manager.register(first, 1);
+        assertEquals(900L, first.getSizeInBytes());
+
+        manager.register(new FakeCache("second", 0), 1);
+
+        assertEquals(500L, first.getSizeInBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void register_rejectsNonPositiveWeight() {
+        new MemoryBudgetManager(BUDGET).register(new FakeCache("cache", 0), 0);
+    }
+
+    @Test
+    public void unregister_givesShareBack() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache kept = new FakeCache("kept", 0);
+        FakeCache removed = new FakeCache("removed", 0);
+        manager.register(kept, 1);
+        manager.register(removed, 1);
+
+        manager.unregister(removed);
+
+        assertEquals(BUDGET, manager.getBudgetFor(kept));
+        assertEquals(0L, manager.getBudgetFor(removed));
+    }
+
+    @Test
+    public void trimAll_onlyTrimsCachesOverBudget() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache over = new FakeCache("over", 0);
+        FakeCache under = new FakeCache("under", 0);
+        manager.register(over, 1);
+        manager.register(under, 1);
+        over.size = 800;
+        under.size = 100;
+
+        manager.trimAll();
+
+        assertEquals(500L, over.getSizeInBytes());
+        assertEquals(1, over.trimCount);
+        assertEquals(0, under.trimCount);
+    }
+
+    @Test
+    public void onTrimMemory_keepsPressureForLaterRegistrations() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache cache = new FakeCache("cache", 1000);
+        manager.register(cache, 1);
+
+        manager.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+        assertEquals(500L, cache.getSizeInBytes());
+        assertEquals(500L, manager.getBudgetFor(cache));
+
+        // A cache registered under pressure is trimmed to the reduced budget as well.
+        FakeCache late = new FakeCache("late", 1000);
+        manager.register(late, 1);
+        assertEquals(250L, late.getSizeInBytes());
+
+        manager.onAppForegrounded();
+        assertEquals(250L, manager.getBudgetFor(cache));
+    }
+
+    @Test
+    public void onAppForegrounded_keepsPressureFromRunningLevels() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache cache = new FakeCache("cache", 0);
+        manager.register(cache, 1);
+
+        // onStart after a rotation or coming back from settings: we never left the foreground.
+        manager.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW);
+        manager.onAppForegrounded();
+        assertEquals(500L, manager.getBudgetFor(cache));
+
+        manager.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+        manager.onAppForegrounded();
+        assertEquals(250L, manager.getBudgetFor(cache));
+    }
+
+    @Test
+    public void onAppForegrounded_resetsPressureAfterBackgroundTrip() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache cache = new FakeCache("cache", 0);
+        manager.register(cache, 1);
+
+        manager.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_BACKGROUND);
+        assertEquals(500L, manager.getBudgetFor(cache));
+
+        manager.onAppForegrounded();
+        assertEquals(BUDGET, manager.getBudgetFor(cache));
+    }
+
+    @Test
+    public void onAppForegrounded_resetsPressureAfterLowMemory() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache cache = new FakeCache("cache", 0);
+        manager.register(cache, 1);
+
+        manager.onLowMemory();
+        manager.onAppForegrounded();
+
+        assertEquals(BUDGET, manager.getBudgetFor(cache));
+    }
+
+    @Test
+    public void onTrimMemory_milderLevelRelaxesBudget() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache cache = new FakeCache("cache", 0);
+        manager.register(cache, 1);
+
+        manager.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL);
+        assertEquals(250L, manager.getBudgetFor(cache));
+
+        manager.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE);
+        assertEquals(750L, manager.getBudgetFor(cache));
+    }
+
+    @Test
+    public void onLowMemory_dropsEverything() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        FakeCache cache = new FakeCache("cache", 400);
+        manager.register(cache, 1);
+
+        manager.onLowMemory();
+
+        assertEquals(0L, cache.getSizeInBytes());
+        assertEquals(0L, manager.getBudgetFor(cache));
+    }
+
+    @Test
+    public void getUsageReport_listsCachesInRegistrationOrder() {
+        MemoryBudgetManager manager = new MemoryBudgetManager(BUDGET);
+        manager.register(new FakeCache("first", 100), 1);
+        manager.register(new FakeCache("second", 200), 1);
+
+        List<MemoryBudgetManager.CacheUsage> report = manager.getUsageReport();
+
+        assertEquals("first", report.get(0).getName());
+        assertEquals(100L, report.get(0).getSizeBytes());
+        assertEquals(500L, report.get(0).getBudgetBytes());
+        assertEquals("second", report.get(1).getName());
+        assertEquals(300L, manager.getUsedBytes());
+    }
+
+    private static class FakeCache implements TrimmableCache {
+
+        private final String name;
+        long size;
+        int trimCount;
+
+        FakeCache(String name, long size) {
+            this.name = name;
+            this.size = size;
+        }
+
+        @Override
+        public String getCacheName() {
+            return name;
+        }
+
+        @Override
+        public long getSizeInBytes() {
+            return size;
+        }
+
+        @Override
+        public void trimToSize(long maxBytes) {
+            trimCount++;
+            size = Math.min(size, maxBytes);
+        }
+    }
+}
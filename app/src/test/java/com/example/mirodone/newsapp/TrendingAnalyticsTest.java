@@ -0,0 +1,189 @@
+package com.example.mirodone.newsapp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link TrendingAnalytics}.
+ */
+public class TrendingAnalyticsTest {
+
+    private static final long NOW = 1500000000000L;
+
+    private static News news(String url, String section, String title, String... contributors) {
+        return new News(title, section, "", null, url, Arrays.asList(contributors));
+    }
+
+    private static double score(List<TrendingCounter.Item> items, String key) {
+        for (TrendingCounter.Item item : items) {
+            if (item.getKey().equals(key)) {
+                return item.getScore();
+            }
+        }
+        return 0d;
+    }
+
+    private static Set<String> keys(List<TrendingCounter.Item> items) {
+        Set<String> keys = new HashSet<>();
+        for (TrendingCounter.Item item : items) {
+            keys.add(item.getKey());
+        }
+        return keys;
+    }
+
+    @Test
+    public void recordParsed_sameListTwice_countsOnce() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        List<News> feed = Arrays.asList(
+                news("url/1", "Sport", "Cup final", "Jane Doe"),
+                news("url/2", "Sport", "League table", "John Roe"),
+                news("url/3", "Politics", "Budget vote", "Jane Doe"));
+
+        analytics.recordParsed(feed, NOW);
+        analytics.recordParsed(feed, NOW);
+
+        List<TrendingCounter.Item> sections = analytics.getTopSections(10, NOW);
+        assertEquals(2d, score(sections, "Sport"), 1e-9);
+        assertEquals(1d, score(sections, "Politics"), 1e-9);
+        assertEquals(2d, analytics.getContributorScore("Jane Doe", NOW), 1e-9);
+        assertEquals(1d, score(analytics.getTopTerms(10, NOW), "final"), 1e-9);
+    }
+
+    @Test
+    public void recordParsed_sameUrlInLaterFetch_countsOnce() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        analytics.recordParsed(Collections.singletonList(news("url/1", "Sport", "Cup final")), NOW);
+
+        analytics.recordParsed(Arrays.asList(
+                news("url/1", "Sport", "Cup final"),
+                news("url/2", "Sport", "League table")), NOW);
+
+        assertEquals(2d, score(analytics.getTopSections(10, NOW), "Sport"), 1e-9);
+    }
+
+    @Test
+    public void recordParsed_nullUrl_isCountedEveryTime() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        List<News> feed = Collections.singletonList(news(null, "Sport", "Cup final"));
+
+        analytics.recordParsed(feed, NOW);
+        analytics.recordParsed(feed, NOW);
+
+        assertEquals(2d, score(analytics.getTopSections(10, NOW), "Sport"), 1e-9);
+    }
+
+    @Test
+    public void recordParsed_forgetsOldestUrlBeyondCapacity() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        List<News> first = Collections.singletonList(news("url/first", "Travel", "Island"));
+        analytics.recordParsed(first, NOW);
+
+        analytics.recordParsed(filler(TrendingAnalytics.SEEN_URL_CAPACITY), NOW);
+
+        // "url/first" fell out of the LRU set, so it is counted again.
+        analytics.recordParsed(first, NOW);
+        assertEquals(2d, score(analytics.getTopSections(10, NOW), "Travel"), 1e-9);
+
+        // The most recent filler URL is still remembered.
+        analytics.recordParsed(Collections.singletonList(
+                news("url/filler/" + (TrendingAnalytics.SEEN_URL_CAPACITY - 1), "Filler", "Filler")), NOW);
+        assertEquals(TrendingAnalytics.SEEN_URL_CAPACITY,
+                score(analytics.getTopSections(10, NOW), "Filler"), 1e-9);
+    }
+
+    @Test
+    public void recordParsed_urlThatKeepsShowingUpStaysSeen() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        List<News> recurring = Collections.singletonList(news("url/recurring", "Travel", "Island"));
+        analytics.recordParsed(recurring, NOW);
+
+        List<News> filler = filler(TrendingAnalytics.SEEN_URL_CAPACITY);
+        analytics.recordParsed(filler.subList(0, TrendingAnalytics.SEEN_URL_CAPACITY - 1), NOW);
+        // Seeing it again makes it the most recently used entry...
+        analytics.recordParsed(recurring, NOW);
+        // ...so the next new URL evicts the oldest filler instead.
+        analytics.recordParsed(filler.subList(TrendingAnalytics.SEEN_URL_CAPACITY - 1, filler.size()), NOW);
+        analytics.recordParsed(recurring, NOW);
+
+        assertEquals(1d, score(analytics.getTopSections(10, NOW), "Travel"), 1e-9);
+    }
+
+    @Test
+    public void recordClick_weighsMoreThanParse() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        News article = news("url/1", "Culture", "Opera review", "Jane Doe");
+
+        analytics.recordParsed(Collections.singletonList(article), NOW);
+        assertEquals(TrendingAnalytics.PARSED_WEIGHT,
+                score(analytics.getTopSections(10, NOW), "Culture"), 1e-9);
+
+        analytics.recordClick(article, NOW);
+        assertEquals(TrendingAnalytics.PARSED_WEIGHT + TrendingAnalytics.CLICK_WEIGHT,
+                score(analytics.getTopSections(10, NOW), "Culture"), 1e-9);
+        assertEquals(5d * TrendingAnalytics.PARSED_WEIGHT, TrendingAnalytics.CLICK_WEIGHT, 0d);
+
+        // Clicks are not deduplicated: reading an article again is more interest.
+        analytics.recordClick(article, NOW);
+        assertEquals(TrendingAnalytics.PARSED_WEIGHT + 2 * TrendingAnalytics.CLICK_WEIGHT,
+                analytics.getContributorScore("Jane Doe", NOW), 1e-9);
+    }
+
+    @Test
+    public void titleTerms_skipStopWordsAndShortTerms() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+
+        analytics.recordParsed(Collections.singletonList(
+                news("url/1", "News", "The new cat is on a Mat with Brexit")), NOW);
+
+        assertEquals(new HashSet<>(Arrays.asList("cat", "mat", "brexit")),
+                keys(analytics.getTopTerms(10, NOW)));
+    }
+
+    @Test
+    public void titleTerms_splitOnPunctuationAndKeepLettersAndDigits() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+
+        analytics.recordParsed(Collections.singletonList(
+                news("url/1", "News", "Brexit: May's deal\u2014rejected! (Again) in 2019 at Caf\u00e9")), NOW);
+
+        assertEquals(new HashSet<>(Arrays.asList("brexit", "may", "deal", "rejected", "again", "2019", "caf\u00e9")),
+                keys(analytics.getTopTerms(10, NOW)));
+    }
+
+    @Test
+    public void contributors_everyTagIsCounted() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+
+        analytics.recordParsed(Arrays.asList(
+                news("url/1", "Sport", "Cup final", "Jane Doe", "John Roe"),
+                news("url/2", "Sport", "League table", "Jane Doe")), NOW);
+
+        List<TrendingCounter.Item> top = analytics.getTopContributors(1, NOW);
+        assertEquals("Jane Doe", top.get(0).getKey());
+        assertEquals(1d, analytics.getContributorScore("John Roe", NOW), 1e-9);
+    }
+
+    @Test
+    public void scores_decayWithHalfLife() {
+        TrendingAnalytics analytics = new TrendingAnalytics();
+        analytics.recordParsed(Collections.singletonList(news("url/1", "Sport", "Cup final")), NOW);
+
+        assertEquals(0.5d, score(analytics.getTopSections(10, NOW + TrendingAnalytics.HALF_LIFE_MILLIS), "Sport"), 1e-9);
+    }
+
+    private static List<News> filler(int count) {
+        List<News> filler = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            filler.add(news("url/filler/" + i, "Filler", "Filler"));
+        }
+        return filler;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mirodone.newsapp;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Local unit tests for {@link TrendingCounter}.
+ */
+public class TrendingCounterTest {
+
+    private static final long HALF_LIFE = 1000L;
+
+    private static TrendingCounter newCounter(int capacity) {
+        return new TrendingCounter(4, 1024, capacity, HALF_LIFE);
+    }
+
+    @Test
+    public void top_scoresHalveEveryHalfLife() {
+        TrendingCounter counter = newCounter(8);
+        counter.add("politics", 8d, 0L);
+
+        assertEquals(8d, counter.top(1, 0L).get(0).getScore(), 1e-9);
+        assertEquals(4d, counter.top(1, HALF_LIFE).get(0).getScore(), 1e-9);
+        assertEquals(2d, counter.top(1, 2 * HALF_LIFE).get(0).getScore(), 1e-9);
+        assertEquals(2d, counter.estimate("politics", 2 * HALF_LIFE), 1e-9);
+    }
+
+    @Test
+    public void add_startsDecayAtFirstAdd() {
+        TrendingCounter counter = newCounter(8);
+        assertEquals(0d, counter.estimate("politics", 0L), 0d);
+
+        // A real wall-clock start, far past any renormalisation threshold from 0.
+        long start = 1500000000000L;
+        counter.add("politics", 8d, start);
+
+        assertEquals(8d, counter.top(1, start).get(0).getScore(), 1e-9);
+        assertEquals(4d, counter.estimate("politics", start + HALF_LIFE), 1e-9);
+    }
+
+    @Test
+    public void top_newerWeightOutranksOlderWeightOfSameSize() {
+        TrendingCounter counter = newCounter(8);
+        counter.add("old", 3d, 0L);
+        counter.add("recent", 2d, 2 * HALF_LIFE);
+
+        List<TrendingCounter.Item> top = counter.top(2, 2 * HALF_LIFE);
+
+        assertEquals("recent", top.get(0).getKey());
+        assertEquals("old", top.get(1).getKey());
+        assertEquals(0.75d, top.get(1).getScore(), 1e-9);
+    }
+
+    @Test
+    public void renormalise_afterLongGapKeepsRanking() {
+        TrendingCounter counter = newCounter(8);
+        counter.add("first", 10d, 0L);
+        counter.add("second", 5d, 0L);
+
+        // 100 half-lives is well past the point where the forward decay factor is renormalised.
+        long later = 100 * HALF_LIFE;
+        counter.add("latest", 1d, later);
+
+        List<TrendingCounter.Item> top = counter.top(3, later);
+        assertEquals("latest", top.get(0).getKey());
+        assertEquals("first", top.get(1).getKey());
+        assertEquals("second", top.get(2).getKey());
+
+        assertEquals(1d, top.get(0).getScore(), 1e-9);
+        assertEquals(10d * Math.pow(2, -100), top.get(1).getScore(), 1e-36);
+        assertEquals(2d, top.get(1).getScore() / top.get(2).getScore(), 1e-9);
+    }
+
+    @Test
+    public void add_replacesWeakestHeavyHitterWhenFull() {
+        TrendingCounter counter = newCounter(2);
+        counter.add("a", 5d, 0L);
+        counter.add("b", 3d, 0L);
+
+        // Not strong enough yet to push out "b".
+        counter.add("c", 1d, 0L);
+        List<TrendingCounter.Item> top = counter.top(5, 0L);
+        assertEquals(2, top.size());
+        assertEquals("a", top.get(0).getKey());
+        assertEquals("b", top.get(1).getKey());
+
+        // The sketch remembers the first weight of "c", so it now overtakes "b".
+        counter.add("c", 3d, 0L);
+        top = counter.top(5, 0L);
+        assertEquals(2, top.size());
+        assertEquals("a", top.get(0).getKey());
+        assertEquals("c", top.get(1).getKey());
+        assertEquals(4d, top.get(1).getScore(), 0d);
+    }
+
+    @Test
+    public void top_capsK() {
+        TrendingCounter counter = newCounter(8);
+        counter.add("a", 1d, 0L);
+        counter.add("b", 2d, 0L);
+
+        assertEquals(1, counter.top(1, 0L).size());
+        assertEquals(2, counter.top(10, 0L).size());
+        assertTrue(counter.top(-1, 0L).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsNonPositiveHalfLife() {
+        new TrendingCounter(4, 1024, 8, 0L);
+    }
+}